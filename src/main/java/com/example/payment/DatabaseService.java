@@ -0,0 +1,5 @@
+package com.example.payment;
+
+public interface DatabaseService {
+    void savePayment(double amount, String status);
+}
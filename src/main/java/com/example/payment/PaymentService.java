@@ -0,0 +1,5 @@
+package com.example.payment;
+
+public interface PaymentService {
+    PaymentApiResponse charge(double amount);
+}
@@ -0,0 +1,29 @@
+package com.example.simulation;
+
+import com.example.Room;
+import com.example.RoomRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class InMemoryRoomRepository implements RoomRepository {
+    private final Map<String, Room> rooms = new LinkedHashMap<>();
+
+    @Override
+    public synchronized Optional<Room> findById(String id) {
+        return Optional.ofNullable(rooms.get(id));
+    }
+
+    @Override
+    public synchronized List<Room> findAll() {
+        return new ArrayList<>(rooms.values());
+    }
+
+    @Override
+    public synchronized void save(Room room) {
+        rooms.put(room.getId(), room);
+    }
+}
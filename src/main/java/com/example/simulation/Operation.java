@@ -0,0 +1,77 @@
+package com.example.simulation;
+
+import java.time.LocalDateTime;
+
+/**
+ * One step of a generated workload. Only the fields relevant to the
+ * {@link OperationType} are set; the rest are left null or zero.
+ */
+public class Operation {
+    private final OperationType type;
+    private final LocalDateTime time;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final double pick;
+    private final double amount;
+    private final int quantity;
+    private final boolean declined;
+
+    public Operation(OperationType type, LocalDateTime time, String roomId, LocalDateTime startTime, LocalDateTime endTime,
+                     double pick, double amount, int quantity, boolean declined) {
+        this.type = type;
+        this.time = time;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.pick = pick;
+        this.amount = amount;
+        this.quantity = quantity;
+        this.declined = declined;
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    /**
+     * Simulated time at which the operation arrives.
+     */
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Value in [0, 1) used to choose which earlier booking a cancellation targets.
+     */
+    public double getPick() {
+        return pick;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Whether the payment service turns down this payment.
+     */
+    public boolean isDeclined() {
+        return declined;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples and outcome counts for one operation type in one stage.
+ */
+public class OperationStats {
+    private long[] latenciesNanos = new long[16];
+    private int count;
+    private long conflicts;
+    private long errors;
+
+    void record(long latencyNanos, boolean conflict, boolean error) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (conflict) {
+            conflicts++;
+        }
+        if (error) {
+            errors++;
+        }
+    }
+
+    void merge(OperationStats other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        conflicts += other.conflicts;
+        errors += other.errors;
+    }
+
+    /**
+     * Approximate heap size of the latency samples.
+     */
+    long retainedBytes() {
+        return 16 + latenciesNanos.length * 8L;
+    }
+
+    void sort() {
+        Arrays.sort(latenciesNanos, 0, count);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Bookings that hit an occupied slot, cancellations that found nothing to
+     * cancel and declined payments.
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Operations the system under test rejected with an exception, such as
+     * cancelling a booking that has already started.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getConflictRate() {
+        return count == 0 ? 0 : (double) conflicts / count;
+    }
+
+    /**
+     * Nearest-rank percentile, only valid once the stage has finished.
+     */
+    public long percentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latenciesNanos[Math.max(0, Math.min(rank, count) - 1)];
+    }
+}
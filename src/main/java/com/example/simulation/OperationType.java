@@ -0,0 +1,9 @@
+package com.example.simulation;
+
+public enum OperationType {
+    BOOK,
+    CANCEL,
+    SEARCH,
+    CART,
+    PAYMENT
+}
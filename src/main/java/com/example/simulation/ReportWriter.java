@@ -0,0 +1,106 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Writes simulation results as JSON so that runs from different releases can
+ * be compared by scripts. Latencies are in microseconds. Heap growth is null
+ * when the readings were too noisy to give one.
+ */
+public class ReportWriter {
+
+    public String toJson(long seed, int operationCount, WorkloadConfig config, List<StageResult> stages) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"seed\": ").append(seed).append(",\n");
+        json.append("  \"operations\": ").append(operationCount).append(",\n");
+        json.append("  \"config\": {\n");
+        json.append("    \"roomCount\": ").append(config.getRoomCount()).append(",\n");
+        json.append("    \"hotspotSkew\": ").append(number(config.getHotspotSkew())).append(",\n");
+        json.append("    \"meanHorizonHours\": ").append(number(config.getMeanHorizonHours())).append(",\n");
+        json.append("    \"maxHorizonDays\": ").append(config.getMaxHorizonDays()).append(",\n");
+        json.append("    \"maxBookingHours\": ").append(config.getMaxBookingHours()).append(",\n");
+        json.append("    \"paymentDeclineRate\": ").append(number(config.getPaymentDeclineRate())).append(",\n");
+        json.append("    \"timeStepMillis\": ").append(config.getTimeStep().toMillis()).append(",\n");
+        json.append("    \"startTime\": \"").append(config.getStartTime()).append("\",\n");
+        json.append("    \"trafficMix\": {");
+        appendJoined(json, config.getTrafficMix(), ", ", (type, weight) -> "\"" + type + "\": " + weight);
+        json.append("}\n");
+        json.append("  },\n");
+        json.append("  \"stages\": [");
+        for (int i = 0; i < stages.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            appendStage(json, stages.get(i));
+        }
+        json.append(stages.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    public void write(Path file, long seed, int operationCount, WorkloadConfig config, List<StageResult> stages) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, toJson(seed, operationCount, config, stages), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write simulation report to " + file, e);
+        }
+    }
+
+    private void appendStage(StringBuilder json, StageResult stage) {
+        json.append("    {\n");
+        json.append("      \"concurrency\": ").append(stage.getConcurrency()).append(",\n");
+        json.append("      \"durationMillis\": ").append(number(stage.getDurationNanos() / 1_000_000.0)).append(",\n");
+        json.append("      \"throughputPerSecond\": ")
+                .append(number(stage.throughputPerSecond(stage.getTotalCount()))).append(",\n");
+        json.append("      \"heapBeforeBytes\": ").append(stage.getHeapBeforeBytes()).append(",\n");
+        json.append("      \"heapAfterBytes\": ").append(stage.getHeapAfterBytes()).append(",\n");
+        json.append("      \"heapGrowthBytes\": ")
+                .append(stage.isHeapGrowthMeasured() ? String.valueOf(stage.getHeapGrowthBytes()) : "null")
+                .append(",\n");
+        json.append("      \"operations\": {");
+        appendJoined(json, stage.getStats(), ",", (type, stats) -> "\n        \"" + type + "\": {"
+                + "\"count\": " + stats.getCount()
+                + ", \"conflicts\": " + stats.getConflicts()
+                + ", \"errors\": " + stats.getErrors()
+                + ", \"conflictRate\": " + number(stats.getConflictRate())
+                + ", \"throughputPerSecond\": " + number(stage.throughputPerSecond(stats.getCount()))
+                + ", \"p50Micros\": " + micros(stats.percentileNanos(50))
+                + ", \"p90Micros\": " + micros(stats.percentileNanos(90))
+                + ", \"p99Micros\": " + micros(stats.percentileNanos(99))
+                + ", \"maxMicros\": " + micros(stats.percentileNanos(100))
+                + "}");
+        json.append("\n      }\n");
+        json.append("    }");
+    }
+
+    private static <K, V> void appendJoined(StringBuilder json, Map<K, V> values, String separator,
+                                            BiFunction<K, V, String> format) {
+        boolean first = true;
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            if (!first) {
+                json.append(separator);
+            }
+            json.append(format.apply(entry.getKey(), entry.getValue()));
+            first = false;
+        }
+    }
+
+    private static String micros(long nanos) {
+        return number(nanos / 1_000.0);
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
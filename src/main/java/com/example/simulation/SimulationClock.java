@@ -0,0 +1,32 @@
+package com.example.simulation;
+
+import com.example.TimeProvider;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link TimeProvider} that only moves when the replay moves it, so that
+ * "now" follows the trace rather than the wall clock.
+ */
+public class SimulationClock implements TimeProvider {
+    private final AtomicReference<LocalDateTime> currentTime;
+
+    public SimulationClock(LocalDateTime startTime) {
+        this.currentTime = new AtomicReference<>(startTime);
+    }
+
+    @Override
+    public LocalDateTime getCurrentTime() {
+        return currentTime.get();
+    }
+
+    /**
+     * Moves the clock forward to {@code time}. Workers replaying in parallel
+     * may reach their operations slightly out of order, so the clock never
+     * moves backwards.
+     */
+    public void advanceTo(LocalDateTime time) {
+        currentTime.accumulateAndGet(time, (current, next) -> next.isAfter(current) ? next : current);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.simulation;
+
+import com.example.Booking;
+import com.example.BookingSystem;
+import com.example.Item;
+import com.example.NotificationService;
+import com.example.Room;
+import com.example.ShoppingCart;
+import com.example.payment.DatabaseService;
+import com.example.payment.EmailService;
+import com.example.payment.PaymentApiResponse;
+import com.example.payment.PaymentProcessor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Replays a workload trace against the real {@link BookingSystem},
+ * {@link ShoppingCart} and {@link PaymentProcessor}.
+ * <p>
+ * Each stage starts from an empty repository. Operations are dealt out
+ * round-robin to the workers, so a single worker replays the trace in order
+ * and gives the same outcome every time. {@link Room} is not thread-safe, so
+ * bookings and cancellations take a write lock and searches a read lock;
+ * contention on that lock is part of what the stage measures.
+ * <p>
+ * Before each operation the stage's {@link SimulationClock} moves to the
+ * operation's time, so bookings that have started can no longer be cancelled.
+ * With several workers the clock follows whichever worker is furthest ahead,
+ * and a booking close to its start time may be rejected as lying in the past.
+ */
+public class SimulationRunner {
+    private final WorkloadConfig config;
+
+    public SimulationRunner(WorkloadConfig config) {
+        this.config = config;
+    }
+
+    public StageResult runStage(List<Operation> trace, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than zero");
+        }
+
+        Stage stage = new Stage();
+        long heapBefore = usedHeap();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<Map<OperationType, OperationStats>>> futures = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                int offset = worker;
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return stage.replay(trace, offset, concurrency);
+                }));
+            }
+
+            long start = System.nanoTime();
+            startGate.countDown();
+            List<Map<OperationType, OperationStats>> workerStats = new ArrayList<>();
+            for (Future<Map<OperationType, OperationStats>> future : futures) {
+                workerStats.add(future.get());
+            }
+            long duration = System.nanoTime() - start;
+
+            // Read the heap while the stage is still reachable, and leave out
+            // the latency samples the harness itself is holding on to.
+            futures.clear();
+            long heapAfter = usedHeap() - workerStats.stream()
+                    .flatMap(stats -> stats.values().stream())
+                    .mapToLong(OperationStats::retainedBytes)
+                    .sum();
+            Reference.reachabilityFence(stage);
+
+            Map<OperationType, OperationStats> merged = new EnumMap<>(OperationType.class);
+            for (OperationType type : OperationType.values()) {
+                merged.put(type, new OperationStats());
+            }
+            for (Map<OperationType, OperationStats> stats : workerStats) {
+                stats.forEach((type, typeStats) -> merged.get(type).merge(typeStats));
+            }
+            merged.values().forEach(OperationStats::sort);
+            return new StageResult(concurrency, duration, heapBefore, heapAfter, merged);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Heap in use right after a full collection, taken from the pools' own
+     * after-collection figures rather than from {@link Runtime}, which also
+     * counts whatever was allocated since. The serial collector leaves some
+     * dead objects in place on most full collections, so keep the lowest of a
+     * few readings.
+     */
+    private static long usedHeap() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            used = Math.min(used, ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .map(MemoryPoolMXBean::getCollectionUsage)
+                    .filter(Objects::nonNull)
+                    .mapToLong(MemoryUsage::getUsed)
+                    .sum());
+        }
+        return used;
+    }
+
+    /**
+     * The systems under test for one stage, shared by all its workers.
+     */
+    private class Stage {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ThreadLocal<Booking> lastConfirmed = new ThreadLocal<>();
+        private final SimulationClock clock = new SimulationClock(config.getStartTime());
+        private final BookingSystem bookingSystem;
+        private final DatabaseService databaseService = (amount, status) -> { };
+        private final EmailService emailService = (email, amount) -> { };
+
+        Stage() {
+            InMemoryRoomRepository roomRepository = new InMemoryRoomRepository();
+            for (int i = 0; i < config.getRoomCount(); i++) {
+                String roomId = WorkloadGenerator.roomId(i);
+                roomRepository.save(new Room(roomId, "Room " + (i + 1)));
+            }
+            NotificationService notificationService = new NotificationService() {
+                @Override
+                public void sendBookingConfirmation(Booking booking) {
+                    lastConfirmed.set(booking);
+                }
+
+                @Override
+                public void sendCancellationConfirmation(Booking booking) {
+                }
+            };
+            bookingSystem = new BookingSystem(clock, roomRepository, notificationService);
+        }
+
+        Map<OperationType, OperationStats> replay(List<Operation> trace, int offset, int stride) {
+            Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+            for (OperationType type : OperationType.values()) {
+                stats.put(type, new OperationStats());
+            }
+            List<String> ownBookings = new ArrayList<>();
+
+            for (int i = offset; i < trace.size(); i += stride) {
+                Operation operation = trace.get(i);
+                boolean conflict = false;
+                boolean error = false;
+                clock.advanceTo(operation.getTime());
+                long start = System.nanoTime();
+                try {
+                    conflict = !execute(operation, ownBookings);
+                } catch (RuntimeException e) {
+                    error = true;
+                }
+                stats.get(operation.getType()).record(System.nanoTime() - start, conflict, error);
+            }
+            return stats;
+        }
+
+        /**
+         * @return false when the operation was turned down by the system under test
+         */
+        private boolean execute(Operation operation, List<String> ownBookings) {
+            switch (operation.getType()) {
+                case BOOK:
+                    return book(operation, ownBookings);
+                case CANCEL:
+                    return cancel(operation, ownBookings);
+                case SEARCH:
+                    lock.readLock().lock();
+                    try {
+                        bookingSystem.getAvailableRooms(operation.getStartTime(), operation.getEndTime());
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                    return true;
+                case CART:
+                    ShoppingCart cart = new ShoppingCart();
+                    for (int i = 0; i < operation.getQuantity(); i++) {
+                        cart.addItem(new Item("Item " + i, operation.getAmount()), 1 + i);
+                    }
+                    cart.applyDiscount(10);
+                    cart.calculateTotalPrice();
+                    return true;
+                case PAYMENT:
+                    // The payment service answers as the trace says it should.
+                    PaymentApiResponse response = operation.isDeclined()
+                            ? new PaymentApiResponse(false, "Payment declined")
+                            : new PaymentApiResponse(true, "Payment successful");
+                    return new PaymentProcessor(amount -> response, databaseService, emailService)
+                            .processPayment(operation.getAmount());
+                default:
+                    throw new IllegalStateException("Unknown operation type " + operation.getType());
+            }
+        }
+
+        private boolean book(Operation operation, List<String> ownBookings) {
+            lock.writeLock().lock();
+            try {
+                if (!bookingSystem.bookRoom(operation.getRoomId(), operation.getStartTime(), operation.getEndTime())) {
+                    return false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ownBookings.add(lastConfirmed.get().getId());
+            return true;
+        }
+
+        private boolean cancel(Operation operation, List<String> ownBookings) {
+            // Without a booking of its own the worker cancels an unknown id,
+            // which still costs a full scan of the rooms.
+            String bookingId = ownBookings.isEmpty()
+                    ? "unknown"
+                    : ownBookings.remove((int) (operation.getPick() * ownBookings.size()));
+            lock.writeLock().lock();
+            try {
+                return bookingSystem.cancelBooking(bookingId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.simulation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of replaying a trace at one concurrency level.
+ */
+public class StageResult {
+    private final int concurrency;
+    private final long durationNanos;
+    private final long heapBeforeBytes;
+    private final long heapAfterBytes;
+    private final Map<OperationType, OperationStats> stats;
+
+    public StageResult(int concurrency, long durationNanos, long heapBeforeBytes, long heapAfterBytes,
+                       Map<OperationType, OperationStats> stats) {
+        this.concurrency = concurrency;
+        this.durationNanos = durationNanos;
+        this.heapBeforeBytes = heapBeforeBytes;
+        this.heapAfterBytes = heapAfterBytes;
+        this.stats = Collections.unmodifiableMap(new EnumMap<>(stats));
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getHeapBeforeBytes() {
+        return heapBeforeBytes;
+    }
+
+    public long getHeapAfterBytes() {
+        return heapAfterBytes;
+    }
+
+    public long getHeapGrowthBytes() {
+        return heapAfterBytes - heapBeforeBytes;
+    }
+
+    /**
+     * A stage that stores little can come out below its starting heap, because
+     * the readings are only as exact as the collector leaves the heap. Such a
+     * reading is noise, not a measured growth.
+     */
+    public boolean isHeapGrowthMeasured() {
+        return heapAfterBytes >= heapBeforeBytes;
+    }
+
+    public Map<OperationType, OperationStats> getStats() {
+        return stats;
+    }
+
+    public long getTotalCount() {
+        return stats.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    public double throughputPerSecond(long count) {
+        return durationNanos == 0 ? 0 : count * 1_000_000_000.0 / durationNanos;
+    }
+}
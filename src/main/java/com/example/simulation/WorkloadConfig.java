@@ -0,0 +1,125 @@
+package com.example.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shape of a simulated workload: traffic mix, how bookings spread over rooms
+ * and how far ahead they are made.
+ */
+public class WorkloadConfig {
+    private final Map<OperationType, Integer> trafficMix;
+    private final int roomCount;
+    private final double hotspotSkew;
+    private final double meanHorizonHours;
+    private final int maxHorizonDays;
+    private final int maxBookingHours;
+    private final double paymentDeclineRate;
+    private final Duration timeStep;
+    private final LocalDateTime startTime;
+
+    /**
+     * @param trafficMix       relative weight of each operation type
+     * @param roomCount        number of rooms in the repository
+     * @param hotspotSkew      Zipf exponent for room popularity, 0 gives a uniform spread
+     * @param meanHorizonHours mean of the exponential distribution for how far ahead a booking starts
+     * @param maxHorizonDays   bookings never start later than this
+     * @param maxBookingHours  bookings last between one and this many hours
+     * @param paymentDeclineRate share of payments the payment service declines
+     * @param timeStep         simulated time between two consecutive operations
+     * @param startTime        simulated time of the first operation
+     */
+    public WorkloadConfig(Map<OperationType, Integer> trafficMix, int roomCount, double hotspotSkew,
+                          double meanHorizonHours, int maxHorizonDays, int maxBookingHours,
+                          double paymentDeclineRate, Duration timeStep, LocalDateTime startTime) {
+        if (trafficMix == null) {
+            throw new IllegalArgumentException("Traffic mix is required");
+        }
+        if (trafficMix.values().stream().anyMatch(weight -> weight == null || weight < 0)) {
+            throw new IllegalArgumentException("Traffic mix weights cannot be missing or negative");
+        }
+        if (trafficMix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Traffic mix must have at least one positive weight");
+        }
+        if (roomCount <= 0) {
+            throw new IllegalArgumentException("Room count must be greater than zero");
+        }
+        if (!Double.isFinite(hotspotSkew) || hotspotSkew < 0) {
+            throw new IllegalArgumentException("Hotspot skew must be a finite number of zero or more");
+        }
+        if (!Double.isFinite(meanHorizonHours)) {
+            throw new IllegalArgumentException("Booking horizon must be a finite number");
+        }
+        if (meanHorizonHours <= 0 || maxHorizonDays <= 0 || maxBookingHours <= 0) {
+            throw new IllegalArgumentException("Booking horizon and duration must be greater than zero");
+        }
+        if (Double.isNaN(paymentDeclineRate) || paymentDeclineRate < 0 || paymentDeclineRate > 1) {
+            throw new IllegalArgumentException("Payment decline rate must be between 0 and 1");
+        }
+        if (timeStep == null || timeStep.isNegative()) {
+            throw new IllegalArgumentException("Time step cannot be negative");
+        }
+        if (startTime == null) {
+            throw new IllegalArgumentException("Start time is required");
+        }
+        this.trafficMix = Collections.unmodifiableMap(new EnumMap<>(trafficMix));
+        this.roomCount = roomCount;
+        this.hotspotSkew = hotspotSkew;
+        this.meanHorizonHours = meanHorizonHours;
+        this.maxHorizonDays = maxHorizonDays;
+        this.maxBookingHours = maxBookingHours;
+        this.paymentDeclineRate = paymentDeclineRate;
+        this.timeStep = timeStep;
+        this.startTime = startTime;
+    }
+
+    public static WorkloadConfig defaults() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.SEARCH, 40);
+        mix.put(OperationType.BOOK, 25);
+        mix.put(OperationType.CANCEL, 5);
+        mix.put(OperationType.CART, 20);
+        mix.put(OperationType.PAYMENT, 10);
+        return new WorkloadConfig(mix, 50, 1.1, 72, 30, 4, 0.05, Duration.ofSeconds(1),
+                LocalDateTime.of(2025, 1, 28, 10, 0));
+    }
+
+    public Map<OperationType, Integer> getTrafficMix() {
+        return trafficMix;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public double getHotspotSkew() {
+        return hotspotSkew;
+    }
+
+    public double getMeanHorizonHours() {
+        return meanHorizonHours;
+    }
+
+    public int getMaxHorizonDays() {
+        return maxHorizonDays;
+    }
+
+    public int getMaxBookingHours() {
+        return maxBookingHours;
+    }
+
+    public double getPaymentDeclineRate() {
+        return paymentDeclineRate;
+    }
+
+    public Duration getTimeStep() {
+        return timeStep;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+}
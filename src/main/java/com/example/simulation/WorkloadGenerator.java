@@ -0,0 +1,117 @@
+package com.example.simulation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a workload trace from a {@link WorkloadConfig}. The same seed
+ * always gives the same trace, so runs can be compared between releases.
+ */
+public class WorkloadGenerator {
+    private final WorkloadConfig config;
+    private final OperationType[] types;
+    private final double[] typeThresholds;
+    private final double[] roomThresholds;
+
+    public WorkloadGenerator(WorkloadConfig config) {
+        this.config = config;
+        this.types = OperationType.values();
+        this.typeThresholds = typeThresholds(config.getTrafficMix());
+        this.roomThresholds = roomThresholds(config.getRoomCount(), config.getHotspotSkew());
+    }
+
+    public static String roomId(int index) {
+        return "room" + (index + 1);
+    }
+
+    public List<Operation> generate(long seed, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Operation count cannot be negative");
+        }
+
+        Random random = new Random(seed);
+        List<Operation> operations = new ArrayList<>(count);
+        LocalDateTime time = config.getStartTime();
+        for (int i = 0; i < count; i++) {
+            operations.add(next(random, time));
+            time = time.plus(config.getTimeStep());
+        }
+        return operations;
+    }
+
+    private Operation next(Random random, LocalDateTime time) {
+        OperationType type = types[pick(typeThresholds, random.nextDouble())];
+        switch (type) {
+            case BOOK:
+                String roomId = roomId(pick(roomThresholds, random.nextDouble()));
+                LocalDateTime start = bookingStart(random, time);
+                LocalDateTime end = start.plusHours(1 + random.nextInt(config.getMaxBookingHours()));
+                return new Operation(type, time, roomId, start, end, 0, 0, 0, false);
+            case SEARCH:
+                LocalDateTime from = bookingStart(random, time);
+                LocalDateTime to = from.plusHours(1 + random.nextInt(config.getMaxBookingHours()));
+                return new Operation(type, time, null, from, to, 0, 0, 0, false);
+            case CANCEL:
+                return new Operation(type, time, null, null, null, random.nextDouble(), 0, 0, false);
+            case CART:
+                return new Operation(type, time, null, null, null, 0, price(random), 1 + random.nextInt(5), false);
+            case PAYMENT:
+                double amount = price(random);
+                boolean declined = random.nextDouble() < config.getPaymentDeclineRate();
+                return new Operation(type, time, null, null, null, 0, amount, 0, declined);
+            default:
+                throw new IllegalStateException("Unknown operation type " + type);
+        }
+    }
+
+    private LocalDateTime bookingStart(Random random, LocalDateTime time) {
+        long maxHours = config.getMaxHorizonDays() * 24L;
+        long hours = (long) Math.ceil(-config.getMeanHorizonHours() * Math.log(1 - random.nextDouble()));
+        hours = Math.max(1, Math.min(hours, maxHours));
+        return time.plusHours(hours);
+    }
+
+    private static double price(Random random) {
+        return Math.round((10 + random.nextDouble() * 490) * 100) / 100.0;
+    }
+
+    private static int pick(double[] thresholds, double value) {
+        int index = Arrays.binarySearch(thresholds, value);
+        index = index >= 0 ? index : -index - 1;
+        while (index < thresholds.length && thresholds[index] <= value) {
+            index++;
+        }
+        return Math.min(index, thresholds.length - 1);
+    }
+
+    private double[] typeThresholds(Map<OperationType, Integer> mix) {
+        double[] weights = new double[types.length];
+        for (int i = 0; i < types.length; i++) {
+            weights[i] = mix.getOrDefault(types[i], 0);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] roomThresholds(int roomCount, double skew) {
+        double[] weights = new double[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            weights[i] = 1 / Math.pow(i + 1, skew);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] thresholds = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            thresholds[i] = running / total;
+        }
+        return thresholds;
+    }
+}
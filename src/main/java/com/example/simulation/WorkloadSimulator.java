@@ -0,0 +1,129 @@
+package com.example.simulation;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Capacity planning entry point. Generates a seeded trace, replays it once to
+ * warm up the JIT and then at each concurrency level, and writes a JSON report.
+ * <p>
+ * Arguments are {@code key=value} pairs, all optional:
+ * {@code seed=42 operations=100000 concurrency=1,2,4,8 output=target/simulation-report.json}
+ * <p>
+ * The workload itself defaults to {@link WorkloadConfig#defaults()} and can be
+ * shaped with:
+ * <ul>
+ *     <li>{@code mix=SEARCH:40,BOOK:25,CANCEL:5,CART:20,PAYMENT:10} relative weight per
+ *     operation type, types left out get weight 0</li>
+ *     <li>{@code rooms=50} number of rooms</li>
+ *     <li>{@code skew=1.1} Zipf exponent for room popularity, 0 for a uniform spread</li>
+ *     <li>{@code horizonHours=72} mean time between an operation and the booking it asks for</li>
+ *     <li>{@code horizonDays=30} latest a booking can start, in days ahead</li>
+ *     <li>{@code bookingHours=4} longest booking, in hours</li>
+ *     <li>{@code declineRate=0.05} share of payments that are declined</li>
+ *     <li>{@code stepMillis=1000} simulated time between two operations</li>
+ *     <li>{@code start=2025-01-28T10:00} simulated time of the first operation</li>
+ * </ul>
+ */
+public class WorkloadSimulator {
+    private static final Set<String> KEYS = Set.of("seed", "operations", "concurrency", "output",
+            "mix", "rooms", "skew", "horizonHours", "horizonDays", "bookingHours", "declineRate",
+            "stepMillis", "start");
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int operations = Integer.parseInt(options.getOrDefault("operations", "100000"));
+        Path output = Path.of(options.getOrDefault("output", "target/simulation-report.json"));
+        List<Integer> levels = new ArrayList<>();
+        for (String level : options.getOrDefault("concurrency", "1,2,4,8").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+
+        WorkloadConfig config = config(options);
+        List<Operation> trace = new WorkloadGenerator(config).generate(seed, operations);
+        SimulationRunner runner = new SimulationRunner(config);
+
+        runner.runStage(trace, 1);
+        List<StageResult> stages = new ArrayList<>();
+        for (int concurrency : levels) {
+            StageResult stage = runner.runStage(trace, concurrency);
+            stages.add(stage);
+            System.out.printf("concurrency=%d throughput=%.0f ops/s%n",
+                    concurrency, stage.throughputPerSecond(stage.getTotalCount()));
+        }
+
+        new ReportWriter().write(output, seed, operations, config, stages);
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+
+    static WorkloadConfig config(Map<String, String> options) {
+        WorkloadConfig defaults = WorkloadConfig.defaults();
+        Map<OperationType, Integer> mix = options.containsKey("mix")
+                ? parseMix(options.get("mix"))
+                : defaults.getTrafficMix();
+        return new WorkloadConfig(mix,
+                intOption(options, "rooms", defaults.getRoomCount()),
+                doubleOption(options, "skew", defaults.getHotspotSkew()),
+                doubleOption(options, "horizonHours", defaults.getMeanHorizonHours()),
+                intOption(options, "horizonDays", defaults.getMaxHorizonDays()),
+                intOption(options, "bookingHours", defaults.getMaxBookingHours()),
+                doubleOption(options, "declineRate", defaults.getPaymentDeclineRate()),
+                options.containsKey("stepMillis")
+                        ? Duration.ofMillis(Long.parseLong(options.get("stepMillis")))
+                        : defaults.getTimeStep(),
+                options.containsKey("start")
+                        ? LocalDateTime.parse(options.get("start"))
+                        : defaults.getStartTime());
+    }
+
+    private static Map<OperationType, Integer> parseMix(String value) {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected TYPE:weight in mix but got " + entry);
+            }
+            OperationType type;
+            try {
+                type = OperationType.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown operation type in mix: " + parts[0], e);
+            }
+            mix.put(type, Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : defaultValue;
+    }
+
+    private static double doubleOption(Map<String, String> options, String key, double defaultValue) {
+        return options.containsKey(key) ? Double.parseDouble(options.get(key)) : defaultValue;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            String key = arg.substring(0, separator);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option " + key);
+            }
+            options.put(key, arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
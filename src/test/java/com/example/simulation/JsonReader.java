@@ -0,0 +1,144 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strict reader for the subset of JSON that {@link ReportWriter} produces:
+ * objects, arrays, strings without escapes, numbers and null. Anything else,
+ * such as a trailing comma or a missing brace, is rejected.
+ */
+class JsonReader {
+    private final String json;
+    private int position;
+
+    private JsonReader(String json) {
+        this.json = json;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parse(String json) {
+        JsonReader reader = new JsonReader(json);
+        reader.skipWhitespace();
+        if (reader.peek() != '{') {
+            throw reader.error("Expected an object");
+        }
+        Map<String, Object> value = (Map<String, Object>) reader.value();
+        reader.skipWhitespace();
+        if (reader.position != json.length()) {
+            throw reader.error("Trailing content");
+        }
+        return value;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        switch (peek()) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                return readNumber();
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        expect("{");
+        skipWhitespace();
+        if (consume('}')) {
+            return result;
+        }
+        do {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(":");
+            if (result.containsKey(key)) {
+                throw error("Duplicate key " + key);
+            }
+            result.put(key, value());
+            skipWhitespace();
+        } while (consume(','));
+        expect("}");
+        return result;
+    }
+
+    private List<Object> readArray() {
+        List<Object> result = new ArrayList<>();
+        expect("[");
+        skipWhitespace();
+        if (consume(']')) {
+            return result;
+        }
+        do {
+            result.add(value());
+            skipWhitespace();
+        } while (consume(','));
+        expect("]");
+        return result;
+    }
+
+    private String readString() {
+        expect("\"");
+        int end = json.indexOf('"', position);
+        if (end < 0) {
+            throw error("Unterminated string");
+        }
+        String result = json.substring(position, end);
+        position = end + 1;
+        return result;
+    }
+
+    private Double readNumber() {
+        int start = position;
+        while (position < json.length() && "+-.0123456789eE".indexOf(json.charAt(position)) >= 0) {
+            position++;
+        }
+        try {
+            return Double.parseDouble(json.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw error("Expected a value");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw error("Unexpected end");
+        }
+        return json.charAt(position);
+    }
+
+    private boolean consume(char expected) {
+        if (position < json.length() && json.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String expected) {
+        if (!json.startsWith(expected, position)) {
+            throw error("Expected " + expected);
+        }
+        position += expected.length();
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadSimulationTest {
+
+    private final WorkloadConfig config = WorkloadConfig.defaults();
+
+    @Test
+    void generate_shouldReturnSameTraceForSameSeed() {
+        WorkloadGenerator generator = new WorkloadGenerator(config);
+
+        List<Operation> first = generator.generate(7, 500);
+        List<Operation> second = generator.generate(7, 500);
+
+        assertThat(first).hasSize(500);
+        assertThat(first).usingRecursiveFieldByFieldElementComparator().isEqualTo(second);
+    }
+
+    @Test
+    void generate_shouldOnlyProduceTypesWithWeight() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.BOOK, 1);
+        mix.put(OperationType.SEARCH, 0);
+        WorkloadConfig bookingsOnly = new WorkloadConfig(mix, 10, 1.0, 24, 7, 2, 0, Duration.ZERO, config.getStartTime());
+
+        List<Operation> trace = new WorkloadGenerator(bookingsOnly).generate(1, 200);
+
+        assertThat(trace).extracting(Operation::getType).containsOnly(OperationType.BOOK);
+    }
+
+    @Test
+    void generate_shouldKeepBookingsWithinHorizon() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(3, 1000);
+
+        assertThat(trace)
+                .filteredOn(operation -> operation.getType() == OperationType.BOOK)
+                .allSatisfy(operation -> {
+                    LocalDateTime latestStart = operation.getTime().plusDays(config.getMaxHorizonDays());
+                    assertThat(operation.getStartTime()).isAfter(operation.getTime()).isBeforeOrEqualTo(latestStart);
+                    assertThat(operation.getEndTime()).isAfter(operation.getStartTime());
+                });
+    }
+
+    @Test
+    void generate_shouldSpaceOperationsByTimeStep() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(3, 100);
+
+        assertThat(trace.get(0).getTime()).isEqualTo(config.getStartTime());
+        assertThat(trace.get(99).getTime()).isEqualTo(config.getStartTime().plus(config.getTimeStep().multipliedBy(99)));
+    }
+
+    @Test
+    void generate_shouldFavourHotRooms() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(5, 5000);
+
+        long firstRoom = trace.stream().filter(operation -> "room1".equals(operation.getRoomId())).count();
+        long lastRoom = trace.stream().filter(operation -> "room50".equals(operation.getRoomId())).count();
+
+        assertThat(firstRoom).isGreaterThan(lastRoom * 10);
+    }
+
+    @Test
+    void runStage_shouldGiveSameOutcomeForSingleWorker() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(11, 2000);
+        SimulationRunner runner = new SimulationRunner(config);
+
+        StageResult first = runner.runStage(trace, 1);
+        StageResult second = runner.runStage(trace, 1);
+
+        assertThat(first.getStats().get(OperationType.BOOK).getConflicts()).isPositive();
+        for (OperationType type : OperationType.values()) {
+            assertThat(first.getStats().get(type).getCount()).isEqualTo(countOf(trace, type));
+            assertThat(first.getStats().get(type).getConflicts()).isEqualTo(second.getStats().get(type).getConflicts());
+            assertThat(first.getStats().get(type).getErrors()).isEqualTo(second.getStats().get(type).getErrors());
+        }
+    }
+
+    @Test
+    void runStage_shouldReplayWholeTraceConcurrently() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(13, 2000);
+
+        StageResult result = new SimulationRunner(config).runStage(trace, 4);
+
+        assertThat(result.getConcurrency()).isEqualTo(4);
+        assertThat(result.getTotalCount()).isEqualTo(2000);
+        assertThat(result.getStats().values()).allSatisfy(stats -> assertThat(stats.getErrors()).isZero());
+    }
+
+    @Test
+    void runStage_shouldRejectCancellingStartedBookingsAsTimeMoves() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.BOOK, 3);
+        mix.put(OperationType.CANCEL, 1);
+        WorkloadConfig hourly = new WorkloadConfig(mix, 10, 0, 6, 2, 2, 0, Duration.ofHours(1), config.getStartTime());
+        List<Operation> trace = new WorkloadGenerator(hourly).generate(29, 500);
+
+        StageResult result = new SimulationRunner(hourly).runStage(trace, 1);
+
+        assertThat(result.getStats().get(OperationType.CANCEL).getErrors()).isPositive();
+        assertThat(result.getStats().get(OperationType.BOOK).getErrors()).isZero();
+    }
+
+    @Test
+    void advanceTo_shouldNeverMoveClockBackwards() {
+        LocalDateTime start = config.getStartTime();
+        SimulationClock clock = new SimulationClock(start);
+
+        clock.advanceTo(start.plusHours(2));
+        clock.advanceTo(start.plusHours(1));
+
+        assertThat(clock.getCurrentTime()).isEqualTo(start.plusHours(2));
+    }
+
+    @Test
+    void runStage_shouldReportHeapGrowthForStoredBookings() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.BOOK, 1);
+        WorkloadConfig bookingsOnly = new WorkloadConfig(mix, 200, 0, 24 * 14, 30, 2, 0, Duration.ZERO,
+                config.getStartTime());
+        List<Operation> trace = new WorkloadGenerator(bookingsOnly).generate(19, 20000);
+
+        StageResult result = new SimulationRunner(bookingsOnly).runStage(trace, 1);
+
+        long stored = result.getTotalCount() - result.getStats().get(OperationType.BOOK).getConflicts();
+        assertThat(stored).isGreaterThan(1000);
+        assertThat(result.isHeapGrowthMeasured()).isTrue();
+        assertThat(result.getHeapGrowthBytes()).isPositive();
+    }
+
+    @Test
+    void runStage_shouldCountDeclinedPaymentsAsConflicts() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.PAYMENT, 1);
+        WorkloadConfig paymentsOnly = new WorkloadConfig(mix, 1, 0, 24, 7, 2, 0.2, Duration.ZERO, config.getStartTime());
+        List<Operation> trace = new WorkloadGenerator(paymentsOnly).generate(23, 1000);
+        long declined = trace.stream().filter(Operation::isDeclined).count();
+
+        StageResult result = new SimulationRunner(paymentsOnly).runStage(trace, 2);
+
+        assertThat(declined).isBetween(100L, 300L);
+        assertThat(result.getStats().get(OperationType.PAYMENT).getConflicts()).isEqualTo(declined);
+    }
+
+    @Test
+    void config_shouldApplyCommandLineOptions() {
+        WorkloadConfig parsed = WorkloadSimulator.config(WorkloadSimulator.parse(new String[]{
+                "mix=book:3,SEARCH:1", "rooms=20", "skew=0", "horizonHours=12", "horizonDays=5",
+                "bookingHours=2", "declineRate=0.1", "stepMillis=500", "start=2025-03-01T08:00"}));
+
+        assertThat(parsed.getTrafficMix()).containsOnly(
+                Map.entry(OperationType.BOOK, 3), Map.entry(OperationType.SEARCH, 1));
+        assertThat(parsed.getRoomCount()).isEqualTo(20);
+        assertThat(parsed.getHotspotSkew()).isZero();
+        assertThat(parsed.getMeanHorizonHours()).isEqualTo(12);
+        assertThat(parsed.getMaxHorizonDays()).isEqualTo(5);
+        assertThat(parsed.getMaxBookingHours()).isEqualTo(2);
+        assertThat(parsed.getPaymentDeclineRate()).isEqualTo(0.1);
+        assertThat(parsed.getTimeStep()).isEqualTo(Duration.ofMillis(500));
+        assertThat(parsed.getStartTime()).isEqualTo(LocalDateTime.of(2025, 3, 1, 8, 0));
+    }
+
+    @Test
+    void config_shouldRejectNonFiniteNumbers() {
+        for (String option : List.of("skew=NaN", "horizonHours=NaN", "horizonHours=Infinity", "declineRate=NaN")) {
+            Map<String, String> options = WorkloadSimulator.parse(new String[]{option});
+
+            assertThatThrownBy(() -> WorkloadSimulator.config(options))
+                    .as(option)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void workloadConfig_shouldRejectMissingWeight() {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.BOOK, 1);
+        mix.put(OperationType.SEARCH, null);
+        LocalDateTime start = config.getStartTime();
+
+        assertThatThrownBy(() -> new WorkloadConfig(mix, 10, 1.0, 24, 7, 2, 0, Duration.ZERO, start))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Traffic mix weights cannot be missing or negative");
+    }
+
+    @Test
+    void parse_shouldThrowExceptionForUnknownOption() {
+        String[] args = {"room=20"};
+
+        assertThatThrownBy(() -> WorkloadSimulator.parse(args))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown option room");
+    }
+
+    @Test
+    void runStage_shouldThrowExceptionForZeroConcurrency() {
+        SimulationRunner runner = new SimulationRunner(config);
+
+        assertThatThrownBy(() -> runner.runStage(List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Concurrency must be greater than zero");
+    }
+
+    @Test
+    void toJson_shouldWriteStageMetrics() {
+        List<Operation> trace = new WorkloadGenerator(config).generate(17, 5000);
+        StageResult result = new SimulationRunner(config).runStage(trace, 2);
+
+        Map<String, Object> report = JsonReader.parse(new ReportWriter().toJson(17, 5000, config, List.of(result)));
+
+        assertThat(report).containsEntry("seed", 17.0).containsEntry("operations", 5000.0);
+        assertThat(object(report.get("config"))).containsEntry("roomCount", (double) config.getRoomCount());
+        List<?> stages = (List<?>) report.get("stages");
+        assertThat(stages).hasSize(1);
+        Map<String, Object> stage = object(stages.get(0));
+        assertThat(stage).containsEntry("concurrency", 2.0);
+        assertThat(stage).containsKey("heapGrowthBytes");
+        Map<String, Object> operations = object(stage.get("operations"));
+        assertThat(operations).containsOnlyKeys("BOOK", "CANCEL", "SEARCH", "CART", "PAYMENT");
+        for (OperationType type : OperationType.values()) {
+            Map<String, Object> stats = object(operations.get(type.name()));
+            assertThat(stats).containsEntry("count", (double) countOf(trace, type));
+            assertThat((Double) stats.get("p50Micros"))
+                    .isLessThanOrEqualTo((Double) stats.get("p90Micros"));
+            assertThat((Double) stats.get("p90Micros"))
+                    .isLessThanOrEqualTo((Double) stats.get("p99Micros"));
+            assertThat((Double) stats.get("p99Micros"))
+                    .isLessThanOrEqualTo((Double) stats.get("maxMicros"));
+        }
+    }
+
+    private static long countOf(List<Operation> trace, OperationType type) {
+        return trace.stream().filter(operation -> operation.getType() == type).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object value) {
+        assertThat(value).isInstanceOf(Map.class);
+        return (Map<String, Object>) value;
+    }
+}